@@ -0,0 +1,64 @@
+package com.br.booktdddio.config;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which clients wrote recently, so their reads can stay on the primary.
+ * At most maxTrackedClients clients are remembered; expired entries are swept at
+ * most once per window.
+ */
+public class ClientWriteTracker {
+
+    private final long windowNanos;
+
+    private final int maxTrackedClients;
+
+    private final ConcurrentMap<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweepAt;
+
+    public ClientWriteTracker(Duration window, int maxTrackedClients) {
+        this.windowNanos = window.toNanos();
+        this.maxTrackedClients = maxTrackedClients;
+        this.nextSweepAt = new AtomicLong(System.nanoTime() + windowNanos);
+    }
+
+    public void recordWrite(String clientId) {
+        if (clientId == null || windowNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        sweepExpired(now);
+        if (lastWriteByClient.size() >= maxTrackedClients && !lastWriteByClient.containsKey(clientId)) {
+            return;
+        }
+        lastWriteByClient.put(clientId, now);
+    }
+
+    public boolean hasRecentWrite(String clientId) {
+        if (clientId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteByClient.get(clientId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt <= windowNanos) {
+            return true;
+        }
+        lastWriteByClient.remove(clientId, writtenAt);
+        return false;
+    }
+
+    private void sweepExpired(long now) {
+        long sweepAt = nextSweepAt.get();
+        if (now - sweepAt < 0 || !nextSweepAt.compareAndSet(sweepAt, now + windowNanos)) {
+            return;
+        }
+        lastWriteByClient.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.br.booktdddio.config;
+
+/**
+ * Holds the client bound to the current thread, used for read-your-writes routing.
+ */
+public final class ReadWriteRoutingContext {
+
+    private static final ThreadLocal<String> CLIENT_ID = new ThreadLocal<>();
+
+    private ReadWriteRoutingContext() {
+    }
+
+    public static String getClientId() {
+        return CLIENT_ID.get();
+    }
+
+    public static void setClientId(String clientId) {
+        CLIENT_ID.set(clientId);
+    }
+
+    public static void clear() {
+        CLIENT_ID.remove();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.br.booktdddio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the read-only flag is
+ * already set when the connection is fetched.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY_KEY = "primary";
+
+    private static final String REPLICA_KEY_PREFIX = "replica-";
+
+    private final HikariDataSource primary;
+
+    private final List<HikariDataSource> replicas;
+
+    private final ReplicaSelection replicaSelection;
+
+    private final ClientWriteTracker clientWriteTracker;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                      ReplicaSelection replicaSelection, ClientWriteTracker clientWriteTracker) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaSelection = replicaSelection;
+        this.clientWriteTracker = clientWriteTracker;
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY_KEY, primary);
+        IntStream.range(0, replicas.size())
+                .forEach(i -> targetDataSources.put(replicaKey(i), replicas.get(i)));
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String clientId = ReadWriteRoutingContext.getClientId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit(clientId);
+            return PRIMARY_KEY;
+        }
+        if (replicas.isEmpty() || clientWriteTracker.hasRecentWrite(clientId)) {
+            return PRIMARY_KEY;
+        }
+        return replicaKey(selectReplica());
+    }
+
+    private void recordWriteOnCommit(String clientId) {
+        if (clientId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clientWriteTracker.recordWrite(clientId);
+            }
+        });
+    }
+
+    private int selectReplica() {
+        if (replicaSelection == ReplicaSelection.LEAST_CONNECTIONS) {
+            return IntStream.range(0, replicas.size())
+                    .boxed()
+                    .min(Comparator.comparingInt(i -> activeConnections(replicas.get(i))))
+                    .orElse(0);
+        }
+        return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    private static int activeConnections(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    private static String replicaKey(int index) {
+        return REPLICA_KEY_PREFIX + index;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.br.booktdddio.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class ReadWriteRoutingFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ReadWriteRoutingContext.setClientId(request.getHeader(CLIENT_ID_HEADER));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingContext.clear();
+        }
+    }
+
+}
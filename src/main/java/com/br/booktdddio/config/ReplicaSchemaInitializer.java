@@ -0,0 +1,57 @@
+package com.br.booktdddio.config;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.schema.TargetType;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the missing tables of the mapped entities on each replica, for local
+ * replicas such as in-memory H2 databases that nothing replicates the schema to.
+ */
+public class ReplicaSchemaInitializer implements InitializingBean {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final List<? extends DataSource> replicas;
+
+    private final Map<String, Object> hibernateSettings;
+
+    public ReplicaSchemaInitializer(EntityManagerFactory entityManagerFactory, List<? extends DataSource> replicas,
+                                    Map<String, Object> hibernateSettings) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.replicas = replicas;
+        this.hibernateSettings = hibernateSettings;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        replicas.forEach(this::updateSchema);
+    }
+
+    private void updateSchema(DataSource replica) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySettings(hibernateSettings)
+                .applySetting(AvailableSettings.DATASOURCE, replica)
+                .build();
+        try {
+            MetadataSources metadataSources = new MetadataSources(registry);
+            entityManagerFactory.getMetamodel()
+                    .getEntities()
+                    .forEach(entity -> metadataSources.addAnnotatedClass(entity.getJavaType()));
+            new SchemaUpdate().execute(EnumSet.of(TargetType.DATABASE), metadataSources.buildMetadata());
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+}
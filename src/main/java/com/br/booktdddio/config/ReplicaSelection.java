@@ -0,0 +1,9 @@
+package com.br.booktdddio.config;
+
+public enum ReplicaSelection {
+
+    ROUND_ROBIN,
+
+    LEAST_CONNECTIONS
+
+}
@@ -0,0 +1,84 @@
+package com.br.booktdddio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Configuration
+@ConditionalOnProperty(prefix = "book.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+    @Bean
+    public ClientWriteTracker clientWriteTracker(RoutingDataSourceProperties properties) {
+        return new ClientWriteTracker(properties.getReadYourWritesWindow(), properties.getMaxTrackedClients());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(RoutingDataSourceProperties properties,
+                                                                 ClientWriteTracker clientWriteTracker) {
+        List<RoutingDataSourceProperties.Connection> replicas = properties.getReplicas();
+        return new ReadWriteRoutingDataSource(
+                buildDataSource(properties.getPrimary(), "book-primary"),
+                IntStream.range(0, replicas.size())
+                        .mapToObj(i -> buildDataSource(replicas.get(i), "book-replica-" + i))
+                        .collect(Collectors.toList()),
+                properties.getReplicaSelection(),
+                clientWriteTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReadWriteRoutingFilter readWriteRoutingFilter() {
+        return new ReadWriteRoutingFilter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "book.datasource.routing", name = "initialize-replica-schema", havingValue = "true")
+    public ReplicaSchemaInitializer replicaSchemaInitializer(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                                             EntityManagerFactory entityManagerFactory,
+                                                             JpaProperties jpaProperties,
+                                                             HibernateProperties hibernateProperties) {
+        Map<String, Object> hibernateSettings = hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings().ddlAuto(() -> "none"));
+        hibernateSettings.remove(AvailableSettings.HBM2DDL_AUTO);
+        if (jpaProperties.getDatabasePlatform() != null) {
+            hibernateSettings.put(AvailableSettings.DIALECT, jpaProperties.getDatabasePlatform());
+        }
+        return new ReplicaSchemaInitializer(
+                entityManagerFactory, readWriteRoutingDataSource.getReplicas(), hibernateSettings);
+    }
+
+    private HikariDataSource buildDataSource(RoutingDataSourceProperties.Connection connection, String poolName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        connection.getHikari().copyStateTo(dataSource);
+        dataSource.setJdbcUrl(connection.getUrl());
+        dataSource.setUsername(connection.getUsername());
+        dataSource.setPassword(connection.getPassword());
+        if (dataSource.getPoolName() == null) {
+            dataSource.setPoolName(poolName);
+        }
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.br.booktdddio.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Data;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "book.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+
+    private Connection primary = new Connection();
+
+    private List<Connection> replicas = new ArrayList<>();
+
+    private ReplicaSelection replicaSelection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * How long reads from a client stay on the primary after that client committed a write.
+     * Zero disables read-your-writes.
+     */
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    /**
+     * Clients remembered for read-your-writes. Reads of clients beyond this limit may be
+     * served by a replica right after their writes.
+     */
+    private int maxTrackedClients = 100_000;
+
+    /**
+     * Creates the missing entity tables on each replica at startup, for local replicas.
+     */
+    private boolean initializeReplicaSchema;
+
+    @Data
+    public static class Connection {
+
+        private String url;
+
+        private String username;
+
+        @ToString.Exclude
+        private String password;
+
+        /**
+         * Pool settings of this connection.
+         */
+        private HikariConfig hikari = new HikariConfig();
+
+    }
+
+}
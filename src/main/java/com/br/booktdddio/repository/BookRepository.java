@@ -3,6 +3,7 @@ package com.br.booktdddio.repository;
 import com.br.booktdddio.entity.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,8 +11,10 @@ import java.util.Optional;
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    @Transactional(readOnly = true)
     Optional<Book> findByName(String name);
 
-    List<Book> listByAuthoName(String authoName);
+    @Transactional(readOnly = true)
+    List<Book> findByAuthorName(String authorName);
 
 }
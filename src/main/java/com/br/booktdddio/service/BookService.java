@@ -1,26 +1,43 @@
 package com.br.booktdddio.service;
 
+import com.br.booktdddio.config.ClientWriteTracker;
+import com.br.booktdddio.config.ReadWriteRoutingContext;
 import com.br.booktdddio.dto.BookDTO;
 import com.br.booktdddio.entity.Book;
 import com.br.booktdddio.exception.BookAlreadyCreatedException;
 import com.br.booktdddio.exception.BookNotFoundException;
 import com.br.booktdddio.mapper.BookMapper;
 import com.br.booktdddio.repository.BookRepository;
+import com.br.booktdddio.utils.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@ManagedResource(objectName = "com.br.booktdddio:type=BookService")
 public class BookService {
 
+    private static final String LIST_ALL_KEY = "listAll";
+
     private final BookMapper bookMapper = BookMapper.INSTANCE;
 
+    private final SingleFlight<String, Optional<BookDTO>> findByNameFlight = new SingleFlight<>();
+
+    private final SingleFlight<String, List<BookDTO>> listAllFlight = new SingleFlight<>();
+
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired(required = false)
+    private ClientWriteTracker clientWriteTracker;
+
+    @Transactional(rollbackFor = BookAlreadyCreatedException.class)
     public BookDTO create(BookDTO bookDTO) throws BookAlreadyCreatedException {
         verifyIfIsAlreadyCreated(bookDTO.getName());
         Book book = bookMapper.toModel(bookDTO);
@@ -29,22 +46,48 @@ public class BookService {
     }
 
     public List<BookDTO> listAll() {
-        return bookRepository.findAll()
-                .stream()
-                .map(bookMapper::toDTO)
-                .collect(Collectors.toList());
+        return readsOwnWrites()
+                ? loadAll()
+                : listAllFlight.execute(LIST_ALL_KEY, this::loadAll);
     }
 
+    @Transactional(rollbackFor = BookNotFoundException.class)
     public void delete(Long id) throws BookNotFoundException {
         Book book = verifyIfExists(id);
         bookRepository.delete(book);
     }
 
     public BookDTO findByName(String name) throws BookNotFoundException {
-        Book foundBook = bookRepository
-                .findByName(name)
-                .orElseThrow(() -> new BookNotFoundException(name));
-        return bookMapper.toDTO(foundBook);
+        Optional<BookDTO> optBookDTO = readsOwnWrites()
+                ? loadByName(name)
+                : findByNameFlight.execute(name, () -> loadByName(name));
+        return optBookDTO.orElseThrow(() -> new BookNotFoundException(name));
+    }
+
+    @ManagedAttribute(description = "Lookups that ran their own repository query")
+    public long getExecutedLookupsCount() {
+        return findByNameFlight.getExecutedCount() + listAllFlight.getExecutedCount();
+    }
+
+    @ManagedAttribute(description = "Lookups that shared a query already in flight")
+    public long getDeduplicatedLookupsCount() {
+        return findByNameFlight.getDeduplicatedCount() + listAllFlight.getDeduplicatedCount();
+    }
+
+    private List<BookDTO> loadAll() {
+        return bookRepository.findAll()
+                .stream()
+                .map(bookMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private Optional<BookDTO> loadByName(String name) {
+        return bookRepository.findByName(name).map(bookMapper::toDTO);
+    }
+
+    private boolean readsOwnWrites() {
+        return clientWriteTracker != null
+                && clientWriteTracker.hasRecentWrite(ReadWriteRoutingContext.getClientId());
     }
 
     private void verifyIfIsAlreadyCreated(String name) throws BookAlreadyCreatedException {
@@ -0,0 +1,72 @@
+package com.br.booktdddio.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ * The first caller runs the loader, the others wait on its result.
+ * <p>
+ * A caller that joins a flight receives a result loaded by a query that may have
+ * started before the caller's own call, so it can miss a write the caller committed
+ * just before. Callers that need to read their own writes must bypass the flight.
+ * The same value is handed to every caller, so loaders should return detached
+ * values such as DTOs rather than managed entities.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executedCount = new LongAdder();
+
+    private final LongAdder deduplicatedCount = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> pending = inFlight.putIfAbsent(key, future);
+        if (pending != null) {
+            deduplicatedCount.increment();
+            return await(pending);
+        }
+
+        executedCount.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.sum();
+    }
+
+    private V await(CompletableFuture<V> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+}
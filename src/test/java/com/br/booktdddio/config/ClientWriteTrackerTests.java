@@ -0,0 +1,67 @@
+package com.br.booktdddio.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientWriteTrackerTests {
+
+    @Test
+    void whenClientWroteWithinWindowThenItShouldHaveRecentWrite() {
+        // given
+        ClientWriteTracker clientWriteTracker = new ClientWriteTracker(Duration.ofMinutes(1), 10);
+
+        // when
+        clientWriteTracker.recordWrite("writer");
+
+        // then
+        assertTrue(clientWriteTracker.hasRecentWrite("writer"));
+        assertFalse(clientWriteTracker.hasRecentWrite("reader"));
+        assertFalse(clientWriteTracker.hasRecentWrite(null));
+    }
+
+    @Test
+    void whenWindowIsZeroThenWritesShouldNotBeTracked() {
+        // given
+        ClientWriteTracker clientWriteTracker = new ClientWriteTracker(Duration.ZERO, 10);
+
+        // when
+        clientWriteTracker.recordWrite("writer");
+
+        // then
+        assertFalse(clientWriteTracker.hasRecentWrite("writer"));
+    }
+
+    @Test
+    void whenWindowHasPassedThenWriteShouldExpire() throws InterruptedException {
+        // given
+        ClientWriteTracker clientWriteTracker = new ClientWriteTracker(Duration.ofMillis(10), 10);
+
+        // when
+        clientWriteTracker.recordWrite("writer");
+        Thread.sleep(20);
+
+        // then
+        assertFalse(clientWriteTracker.hasRecentWrite("writer"));
+    }
+
+    @Test
+    void whenTrackedClientsLimitIsReachedThenNewClientsShouldNotBeTracked() {
+        // given
+        ClientWriteTracker clientWriteTracker = new ClientWriteTracker(Duration.ofMinutes(1), 2);
+
+        // when
+        clientWriteTracker.recordWrite("first");
+        clientWriteTracker.recordWrite("second");
+        clientWriteTracker.recordWrite("third");
+
+        // then
+        assertTrue(clientWriteTracker.hasRecentWrite("first"));
+        assertTrue(clientWriteTracker.hasRecentWrite("second"));
+        assertFalse(clientWriteTracker.hasRecentWrite("third"));
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.br.booktdddio.config;
+
+import com.br.booktdddio.builder.BookDTOBuilder;
+import com.br.booktdddio.dto.BookDTO;
+import com.br.booktdddio.exception.BookAlreadyCreatedException;
+import com.br.booktdddio.exception.BookNotFoundException;
+import com.br.booktdddio.service.BookService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "book.datasource.routing.enabled=true",
+        "book.datasource.routing.primary.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "book.datasource.routing.primary.username=sa",
+        "book.datasource.routing.primary.hikari.maximum-pool-size=4",
+        "book.datasource.routing.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "book.datasource.routing.replicas[0].username=sa",
+        "book.datasource.routing.read-your-writes-window=1m",
+        "book.datasource.routing.initialize-replica-schema=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.open-in-view=false"
+})
+public class ReadWriteRoutingDataSourceTests {
+
+    private final JdbcTemplate primary = jdbcTemplate("jdbc:h2:mem:primary");
+
+    private final JdbcTemplate replica = jdbcTemplate("jdbc:h2:mem:replica");
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReadWriteRoutingDataSource readWriteRoutingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingContext.clear();
+        primary.update("DELETE FROM book");
+        replica.update("DELETE FROM book");
+    }
+
+    @Test
+    void whenBookIsCreatedThenItShouldBeWrittenToPrimary() throws BookAlreadyCreatedException {
+        // given
+        BookDTO bookDTO = BookDTOBuilder.builder().build().toBookDTO();
+
+        // when
+        bookService.create(bookDTO);
+
+        // then
+        assertEquals(1, countByName(primary, bookDTO.getName()));
+        assertEquals(0, countByName(replica, bookDTO.getName()));
+    }
+
+    @Test
+    void whenReadOnlyMethodsAreCalledThenReplicaShouldBeRead() throws BookNotFoundException {
+        // given
+        replica.update("INSERT INTO book(name, author_name) VALUES (?, ?)", "Replica book", "Francisco");
+
+        // when
+        List<BookDTO> bookDTOList = bookService.listAll();
+        BookDTO foundBookDTO = bookService.findByName("Replica book");
+
+        // then
+        assertThat(bookDTOList, hasSize(1));
+        assertEquals("Replica book", foundBookDTO.getName());
+    }
+
+    @Test
+    void whenClientReadsAfterWritingThenPrimaryShouldBeRead() throws Exception {
+        // given
+        BookDTO bookDTO = BookDTOBuilder.builder().build().toBookDTO();
+        ReadWriteRoutingContext.setClientId("writer");
+        bookService.create(bookDTO);
+
+        // when
+        BookDTO foundBookDTO = bookService.findByName(bookDTO.getName());
+
+        // then
+        assertEquals(bookDTO.getName(), foundBookDTO.getName());
+
+        ReadWriteRoutingContext.setClientId("reader");
+        assertThrows(BookNotFoundException.class, () -> bookService.findByName(bookDTO.getName()));
+    }
+
+    @Test
+    void whenClientWriteFailsThenReplicaShouldStillBeRead() {
+        // given
+        primary.update("INSERT INTO book(name, author_name) VALUES (?, ?)", "Primary book", "Francisco");
+        BookDTO bookDTO = BookDTOBuilder.builder().name("Primary book").build().toBookDTO();
+        ReadWriteRoutingContext.setClientId("failed-writer");
+
+        // when
+        assertThrows(BookAlreadyCreatedException.class, () -> bookService.create(bookDTO));
+
+        // then
+        assertThrows(BookNotFoundException.class, () -> bookService.findByName("Primary book"));
+    }
+
+    @Test
+    void whenPoolSettingsAreGivenThenTheyShouldApplyToThatConnection() {
+        // then
+        assertEquals(4, readWriteRoutingDataSource.getPrimary().getMaximumPoolSize());
+        assertEquals("book-primary", readWriteRoutingDataSource.getPrimary().getPoolName());
+        assertEquals("book-replica-0", readWriteRoutingDataSource.getReplicas().get(0).getPoolName());
+    }
+
+    @Test
+    void whenRoundRobinIsUsedThenReplicasShouldAlternate() {
+        // given
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+                new HikariDataSource(),
+                asList(new HikariDataSource(), new HikariDataSource()),
+                ReplicaSelection.ROUND_ROBIN,
+                new ClientWriteTracker(Duration.ZERO, 1));
+
+        // when
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            List<Object> keys = asList(
+                    routingDataSource.determineCurrentLookupKey(),
+                    routingDataSource.determineCurrentLookupKey(),
+                    routingDataSource.determineCurrentLookupKey());
+
+            // then
+            assertThat(keys, contains("replica-0", "replica-1", "replica-0"));
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY_KEY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    private static int countByName(JdbcTemplate jdbcTemplate, String name) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book WHERE name = ?", Integer.class, name);
+    }
+
+    private static JdbcTemplate jdbcTemplate(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+}
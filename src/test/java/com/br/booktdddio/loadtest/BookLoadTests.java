@@ -0,0 +1,372 @@
+package com.br.booktdddio.loadtest;
+
+import com.br.booktdddio.dto.BookDTO;
+import com.br.booktdddio.entity.Book;
+import com.br.booktdddio.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load generator for /api/v1/books, excluded from the default build.
+ * Run with {@code mvn test -P load-test}; the workload can be tuned through the
+ * loadtest.requests, loadtest.concurrency, loadtest.catalogSize and loadtest.mix
+ * system properties. Pass {@code -Dloadtest.updateBaseline=true} to store the
+ * figures of the run as the new baseline instead of checking against it.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BookLoadTests {
+
+    private static final String BOOK_ENDPOINT_URI = "/api/v1/books";
+
+    private static final String DEFAULT_BASELINE_FILE = "src/test/resources/loadtest/baseline.properties";
+
+    private static final String DEFAULT_TOLERANCE = "0.20";
+
+    private static final long WORKLOAD_TIMEOUT_MINUTES = 10;
+
+    private static final int MIN_SAMPLES_FOR_P999 = 10_000;
+
+    private static final String SEEDED_BOOK_PREFIX = "Seeded book ";
+
+    private enum Operation {
+        CREATE, FIND_BY_NAME, LIST_ALL, DELETE
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final int totalRequests = Integer.getInteger("loadtest.requests", 10_000);
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+
+    private final int catalogSize = Integer.getInteger("loadtest.catalogSize", 200);
+
+    private final Map<Operation, Integer> mix = parseMix(
+            System.getProperty("loadtest.mix", "CREATE:15,FIND_BY_NAME:55,LIST_ALL:20,DELETE:10"));
+
+    private final Path baselineFile = Paths.get(System.getProperty("loadtest.baselineFile", DEFAULT_BASELINE_FILE));
+
+    private final boolean updateBaseline = Boolean.getBoolean("loadtest.updateBaseline");
+
+    private final Queue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong createdBooksCounter = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        List<Book> catalog = IntStream.range(0, catalogSize)
+                .mapToObj(i -> new Book(null, SEEDED_BOOK_PREFIX + i, "Author " + i % 20))
+                .collect(Collectors.toList());
+        bookRepository.saveAll(catalog).forEach(book -> deletableIds.add(book.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void whenMixedWorkloadIsRunThenItShouldNotRegressFromBaseline() throws Exception {
+        // given
+        Properties baseline = loadBaseline();
+        runWorkload(totalRequests / 10, new LatencyRecorder());
+
+        // when
+        LatencyRecorder recorder = new LatencyRecorder();
+        long startedAt = System.nanoTime();
+        runWorkload(totalRequests, recorder);
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        double throughput = recorder.count(null) / elapsedSeconds;
+
+        // then
+        printReport(recorder, throughput);
+        assertEquals(0, recorder.errors.get(), "Requests answered with an unexpected status");
+
+        if (updateBaseline) {
+            storeBaseline(baseline, recorder, throughput);
+            return;
+        }
+
+        assertTrue(baseline.containsKey("throughput.min"), String.format(
+                "No baseline recorded in %s, run with -Dloadtest.updateBaseline=true first", baselineFile));
+        assertEquals(baseline.getProperty("recorded.workload"), describeWorkload(),
+                "Baseline was recorded with a different workload");
+        assertEquals(baseline.getProperty("recorded.hardware"), describeHardware(),
+                "Baseline was recorded on different hardware, record one for this machine with "
+                        + "-Dloadtest.updateBaseline=true");
+
+        double tolerance = Double.parseDouble(baseline.getProperty("tolerance", DEFAULT_TOLERANCE));
+        double minThroughput = Double.parseDouble(baseline.getProperty("throughput.min")) * (1 - tolerance);
+
+        assertTrue(throughput >= minThroughput,
+                String.format("Throughput %.1f req/s is below baseline minimum %.1f req/s", throughput, minThroughput));
+        assertLatencyWithinBaseline(recorder, baseline, "p50", 0.50, tolerance);
+        assertLatencyWithinBaseline(recorder, baseline, "p99", 0.99, tolerance);
+        // p999 of fewer samples is a handful of requests, mostly GC and JIT noise
+        if (recorder.count(null) >= MIN_SAMPLES_FOR_P999) {
+            assertLatencyWithinBaseline(recorder, baseline, "p999", 0.999, tolerance);
+        } else {
+            System.out.printf("p999 not checked: %d samples, at least %d needed%n",
+                    recorder.count(null), MIN_SAMPLES_FOR_P999);
+        }
+    }
+
+    private void runWorkload(int requests, LatencyRecorder recorder) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch finished = new CountDownLatch(requests);
+        try {
+            for (int i = 0; i < requests; i++) {
+                executor.execute(() -> {
+                    try {
+                        Operation operation = nextOperation();
+                        Long deletableId = operation == Operation.DELETE ? deletableIds.poll() : null;
+                        if (operation == Operation.DELETE && deletableId == null) {
+                            // nothing left to delete, the request becomes a listAll and is reported as one
+                            operation = Operation.LIST_ALL;
+                        }
+                        long startedAt = System.nanoTime();
+                        boolean succeeded = executeQuietly(operation, deletableId);
+                        recorder.record(operation, System.nanoTime() - startedAt, succeeded);
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+            assertTrue(finished.await(WORKLOAD_TIMEOUT_MINUTES, TimeUnit.MINUTES), String.format(
+                    "Only %d of %d requests finished within %d minutes",
+                    requests - finished.getCount(), requests, WORKLOAD_TIMEOUT_MINUTES));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean executeQuietly(Operation operation, Long deletableId) {
+        try {
+            return execute(operation, deletableId);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean execute(Operation operation, Long deletableId) {
+        switch (operation) {
+            case CREATE:
+                return create();
+            case FIND_BY_NAME:
+                return findByName();
+            case LIST_ALL:
+                return listAll();
+            default:
+                return delete(deletableId);
+        }
+    }
+
+    private boolean create() {
+        BookDTO bookDTO = BookDTO.builder()
+                .name("Load test book " + createdBooksCounter.incrementAndGet())
+                .authorName("Load test author")
+                .build();
+        ResponseEntity<BookDTO> response = restTemplate.postForEntity(BOOK_ENDPOINT_URI, bookDTO, BookDTO.class);
+        if (response.getStatusCode() != HttpStatus.CREATED || response.getBody() == null) {
+            return false;
+        }
+        deletableIds.add(response.getBody().getId());
+        return true;
+    }
+
+    private boolean findByName() {
+        String name = SEEDED_BOOK_PREFIX + ThreadLocalRandom.current().nextInt(catalogSize);
+        ResponseEntity<String> response = restTemplate.getForEntity(BOOK_ENDPOINT_URI + "/{name}", String.class, name);
+        // seeded books may already have been removed by the delete share of the mix
+        return response.getStatusCode() == HttpStatus.OK || response.getStatusCode() == HttpStatus.NOT_FOUND;
+    }
+
+    private boolean listAll() {
+        ResponseEntity<BookDTO[]> response = restTemplate.getForEntity(BOOK_ENDPOINT_URI, BookDTO[].class);
+        return response.getStatusCode() == HttpStatus.OK;
+    }
+
+    private boolean delete(Long id) {
+        ResponseEntity<Void> response = restTemplate.exchange(
+                BOOK_ENDPOINT_URI + "/{id}", HttpMethod.DELETE, null, Void.class, id);
+        return response.getStatusCode() == HttpStatus.NO_CONTENT;
+    }
+
+    private Operation nextOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Invalid load test mix " + mix);
+    }
+
+    private void assertLatencyWithinBaseline(LatencyRecorder recorder, Properties baseline,
+                                             String name, double quantile, double tolerance) {
+        double maxMillis = Double.parseDouble(baseline.getProperty("latency." + name + ".max.ms")) * (1 + tolerance);
+        double actualMillis = recorder.percentileMillis(null, quantile);
+        assertTrue(actualMillis <= maxMillis,
+                String.format("Latency %s of %.2f ms is above baseline maximum %.2f ms", name, actualMillis, maxMillis));
+    }
+
+    private void printReport(LatencyRecorder recorder, double throughput) {
+        System.out.printf("Load test: %d requests, concurrency %d, %.1f req/s, %d errors%n",
+                totalRequests, concurrency, throughput, recorder.errors.get());
+        List<Operation> operations = new ArrayList<>(Arrays.asList(Operation.values()));
+        operations.add(null);
+        for (Operation operation : operations) {
+            System.out.printf("  %-12s count=%-6d p50=%.2f ms p99=%.2f ms p999=%.2f ms%n",
+                    operation == null ? "ALL" : operation,
+                    recorder.count(operation),
+                    recorder.percentileMillis(operation, 0.50),
+                    recorder.percentileMillis(operation, 0.99),
+                    recorder.percentileMillis(operation, 0.999));
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        if (Files.exists(baselineFile)) {
+            try (Reader reader = Files.newBufferedReader(baselineFile)) {
+                baseline.load(reader);
+            }
+        }
+        return baseline;
+    }
+
+    private void storeBaseline(Properties previous, LatencyRecorder recorder, double throughput) throws IOException {
+        Properties baseline = new Properties();
+        baseline.setProperty("tolerance", previous.getProperty("tolerance", DEFAULT_TOLERANCE));
+        baseline.setProperty("throughput.min", String.format(Locale.ROOT, "%.1f", throughput));
+        baseline.setProperty("latency.p50.max.ms", formatMillis(recorder.percentileMillis(null, 0.50)));
+        baseline.setProperty("latency.p99.max.ms", formatMillis(recorder.percentileMillis(null, 0.99)));
+        baseline.setProperty("latency.p999.max.ms", formatMillis(recorder.percentileMillis(null, 0.999)));
+        baseline.setProperty("recorded.workload", describeWorkload());
+        baseline.setProperty("recorded.hardware", describeHardware());
+        baseline.setProperty("recorded.at", LocalDate.now().toString());
+
+        Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(baselineFile)) {
+            baseline.store(writer, "Recorded by BookLoadTests with -Dloadtest.updateBaseline=true");
+        }
+        System.out.printf("Load test baseline stored in %s%n", baselineFile.toAbsolutePath());
+    }
+
+    private String describeWorkload() {
+        return String.format("requests=%d concurrency=%d catalogSize=%d mix=%s",
+                totalRequests, concurrency, catalogSize, mix);
+    }
+
+    private static String describeHardware() {
+        Runtime runtime = Runtime.getRuntime();
+        return String.format("%d CPUs, %d MB max heap, %s %s %s, Java %s",
+                runtime.availableProcessors(),
+                runtime.maxMemory() / (1024 * 1024),
+                System.getProperty("os.name"),
+                System.getProperty("os.version"),
+                System.getProperty("os.arch"),
+                System.getProperty("java.version"));
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format(Locale.ROOT, "%.2f", millis);
+    }
+
+    private static class LatencyRecorder {
+
+        private final Map<Operation, Queue<Long>> latencies = new EnumMap<>(Operation.class);
+
+        private final AtomicInteger errors = new AtomicInteger();
+
+        LatencyRecorder() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentLinkedQueue<>());
+            }
+        }
+
+        void record(Operation operation, long latencyNanos, boolean succeeded) {
+            latencies.get(operation).add(latencyNanos);
+            if (!succeeded) {
+                errors.incrementAndGet();
+            }
+        }
+
+        int count(Operation operation) {
+            return samples(operation).length;
+        }
+
+        double percentileMillis(Operation operation, double quantile) {
+            long[] samples = samples(operation);
+            if (samples.length == 0) {
+                return 0;
+            }
+            Arrays.sort(samples);
+            int index = (int) Math.ceil(quantile * samples.length) - 1;
+            return samples[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        private long[] samples(Operation operation) {
+            return latencies.entrySet().stream()
+                    .filter(entry -> operation == null || entry.getKey() == operation)
+                    .flatMap(entry -> entry.getValue().stream())
+                    .mapToLong(Long::longValue)
+                    .toArray();
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.br.booktdddio.service;
+
+import com.br.booktdddio.builder.BookDTOBuilder;
+import com.br.booktdddio.dto.BookDTO;
+import com.br.booktdddio.entity.Book;
+import com.br.booktdddio.mapper.BookMapper;
+import com.br.booktdddio.repository.BookRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class BookServiceConnectionTests {
+
+    private static final int WAITERS = 20;
+
+    private final BookMapper bookMapper = BookMapper.INSTANCE;
+
+    @MockBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void whenLookupsWaitOnAnotherLookupThenTheyShouldNotHoldConnections() throws Exception {
+        // given
+        BookDTO bookDTO = BookDTOBuilder.builder().build().toBookDTO();
+        Book book = bookMapper.toModel(bookDTO);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        assertNotNull(pool);
+        long deduplicatedBefore = bookService.getDeduplicatedLookupsCount();
+
+        // when
+        when(bookRepository.findByName(bookDTO.getName())).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(10, TimeUnit.SECONDS);
+            return Optional.of(book);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+        try {
+            Future<BookDTO> leader = executor.submit(() -> bookService.findByName(bookDTO.getName()));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            List<Future<BookDTO>> waiters = IntStream.range(0, WAITERS)
+                    .mapToObj(i -> executor.submit(() -> bookService.findByName(bookDTO.getName())))
+                    .collect(Collectors.toList());
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (bookService.getDeduplicatedLookupsCount() - deduplicatedBefore < WAITERS) {
+                    Thread.sleep(1);
+                }
+            });
+
+            // then
+            assertEquals(0, pool.getActiveConnections());
+
+            releaseQuery.countDown();
+            assertEquals(bookDTO.getName(), leader.get(5, TimeUnit.SECONDS).getName());
+            for (Future<BookDTO> waiter : waiters) {
+                assertEquals(bookDTO.getName(), waiter.get(5, TimeUnit.SECONDS).getName());
+            }
+            verify(bookRepository, times(1)).findByName(bookDTO.getName());
+        } finally {
+            releaseQuery.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+}
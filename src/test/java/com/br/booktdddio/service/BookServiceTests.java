@@ -1,6 +1,8 @@
 package com.br.booktdddio.service;
 
 import com.br.booktdddio.builder.BookDTOBuilder;
+import com.br.booktdddio.config.ClientWriteTracker;
+import com.br.booktdddio.config.ReadWriteRoutingContext;
 import com.br.booktdddio.dto.BookDTO;
 import com.br.booktdddio.entity.Book;
 import com.br.booktdddio.exception.BookAlreadyCreatedException;
@@ -11,10 +13,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -22,6 +32,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +44,9 @@ public class BookServiceTests {
     @Mock
     private BookRepository bookRepository;
 
+    @Spy
+    private ClientWriteTracker clientWriteTracker = new ClientWriteTracker(Duration.ofMinutes(1), 100);
+
     @InjectMocks
     private BookService bookService;
 
@@ -142,4 +157,120 @@ public class BookServiceTests {
         assertThrows(BookNotFoundException.class, () -> bookService.findByName(anyString()));
     }
 
+    @Test
+    void whenConcurrentLookupsForSameNameThenRepositoryShouldBeQueriedOnce() throws Exception {
+        // given
+        BookDTO bookDTO = BookDTOBuilder.builder().build().toBookDTO();
+        Book book = bookMapper.toModel(bookDTO);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+
+        // when
+        when(bookRepository.findByName(bookDTO.getName())).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Optional.of(book);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BookDTO> first = executor.submit(() -> bookService.findByName(bookDTO.getName()));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Future<BookDTO> second = executor.submit(() -> bookService.findByName(bookDTO.getName()));
+            awaitDeduplicatedLookups(1);
+            releaseQuery.countDown();
+
+            // then
+            assertEquals(bookDTO.getName(), first.get(5, TimeUnit.SECONDS).getName());
+            assertEquals(bookDTO.getName(), second.get(5, TimeUnit.SECONDS).getName());
+            verify(bookRepository, times(1)).findByName(bookDTO.getName());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenConcurrentListsAreCalledThenRepositoryShouldBeQueriedOnce() throws Exception {
+        // given
+        BookDTO bookDTO = BookDTOBuilder.builder().build().toBookDTO();
+        Book book = bookMapper.toModel(bookDTO);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+
+        // when
+        when(bookRepository.findAll()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return asList(book);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<BookDTO>> first = executor.submit(() -> bookService.listAll());
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Future<List<BookDTO>> second = executor.submit(() -> bookService.listAll());
+            awaitDeduplicatedLookups(1);
+            releaseQuery.countDown();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS), hasSize(1));
+            assertThat(second.get(5, TimeUnit.SECONDS), hasSize(1));
+            verify(bookRepository, times(1)).findAll();
+            assertEquals(1, bookService.getExecutedLookupsCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenClientReadsAfterWritingThenItShouldNotJoinAnotherClientLookup() throws Exception {
+        // given
+        BookDTO bookDTO = BookDTOBuilder.builder().build().toBookDTO();
+        Book book = bookMapper.toModel(bookDTO);
+        CountDownLatch staleQueryStarted = new CountDownLatch(1);
+        CountDownLatch releaseStaleQuery = new CountDownLatch(1);
+        clientWriteTracker.recordWrite("writer");
+
+        // when
+        when(bookRepository.findByName(bookDTO.getName()))
+                .thenAnswer(invocation -> {
+                    staleQueryStarted.countDown();
+                    releaseStaleQuery.await(5, TimeUnit.SECONDS);
+                    return Optional.empty();
+                })
+                .thenReturn(Optional.of(book));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BookDTO> reader = executor.submit(() -> bookService.findByName(bookDTO.getName()));
+            assertTrue(staleQueryStarted.await(5, TimeUnit.SECONDS));
+            Future<BookDTO> writer = executor.submit(() -> {
+                ReadWriteRoutingContext.setClientId("writer");
+                try {
+                    return bookService.findByName(bookDTO.getName());
+                } finally {
+                    ReadWriteRoutingContext.clear();
+                }
+            });
+
+            // then
+            assertEquals(bookDTO.getName(), writer.get(5, TimeUnit.SECONDS).getName());
+            releaseStaleQuery.countDown();
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> reader.get(5, TimeUnit.SECONDS));
+            assertThat(exception.getCause(), is(instanceOf(BookNotFoundException.class)));
+            verify(bookRepository, times(2)).findByName(bookDTO.getName());
+            assertEquals(0, bookService.getDeduplicatedLookupsCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitDeduplicatedLookups(long expected) {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (bookService.getDeduplicatedLookupsCount() < expected) {
+                Thread.sleep(1);
+            }
+        });
+    }
+
 }
@@ -0,0 +1,102 @@
+package com.br.booktdddio.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTests {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void whenConcurrentCallsForSameKeyThenLoaderShouldRunOnce() throws Exception {
+        // given
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        // when
+        Future<String> first = executor.submit(() -> singleFlight.execute("TDD da DIO", () -> {
+            loaderCalls.incrementAndGet();
+            loaderStarted.countDown();
+            awaitQuietly(releaseLoader);
+            return "result";
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        Future<String> second = executor.submit(() -> singleFlight.execute("TDD da DIO", () -> {
+            loaderCalls.incrementAndGet();
+            return "other result";
+        }));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (singleFlight.getDeduplicatedCount() == 0) {
+                Thread.sleep(1);
+            }
+        });
+        releaseLoader.countDown();
+
+        // then
+        assertEquals("result", first.get(5, TimeUnit.SECONDS));
+        assertEquals("result", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, singleFlight.getExecutedCount());
+        assertEquals(1, singleFlight.getDeduplicatedCount());
+    }
+
+    @Test
+    void whenSequentialCallsForSameKeyThenLoaderShouldRunEachTime() {
+        // when
+        singleFlight.execute("TDD da DIO", () -> "first");
+        String result = singleFlight.execute("TDD da DIO", () -> "second");
+
+        // then
+        assertEquals("second", result);
+        assertEquals(2, singleFlight.getExecutedCount());
+        assertEquals(0, singleFlight.getDeduplicatedCount());
+    }
+
+    @Test
+    void whenLoaderFailsThenExceptionShouldBeThrownAndKeyReleased() {
+        // when
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("TDD da DIO", () -> {
+            throw new IllegalStateException();
+        }));
+
+        // then
+        assertEquals("result", singleFlight.execute("TDD da DIO", () -> "result"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}